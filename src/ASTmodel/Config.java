@@ -6,6 +6,7 @@ import java.util.*;
 public class Config {
     private String baseUrl;
     private Map<String, String> headers = new HashMap<>();
+    private Map<String, Object> options = new LinkedHashMap<>();
 
     public void setBaseUrl(String url) {
         this.baseUrl = url;
@@ -23,6 +24,48 @@ public class Config {
         return headers;
     }
 
+    public void setOption(String name, Object value) {
+        options.put(name, value);
+    }
+
+    public Object getOption(String name) {
+        return options.get(name);
+    }
+
+    public Map<String, Object> getOptions() {
+        return options;
+    }
+
+    // Accept-Encoding value from the "compression" option, or null when not set
+    public String getCompression() {
+        Object value = options.get("compression");
+        return value != null ? value.toString() : null;
+    }
+
+    // Run-history file from the "history" option, or null when ordering is off
+    public String getHistoryFile() {
+        Object value = options.get("history");
+        return value != null ? value.toString() : null;
+    }
+
+    // Failures after which remaining tests are skipped, 0 when "fail_fast" is not set
+    public int getFailFast() {
+        Object value = options.get("fail_fast");
+        return value instanceof Integer ? (Integer) value : 0;
+    }
+
+    // Max cached GET responses from the "cache_size" option, 0 when caching is off
+    public int getCacheSize() {
+        Object value = options.get("cache_size");
+        return value instanceof Integer ? (Integer) value : 0;
+    }
+
+    // Seconds a cached GET response stays fresh ("cache_ttl", default 60)
+    public int getCacheTtl() {
+        Object value = options.get("cache_ttl");
+        return value instanceof Integer ? (Integer) value : 60;
+    }
+
     // Helper class for parser
     public static class HeaderEntry {
         public boolean isBaseUrl;
@@ -35,4 +78,15 @@ public class Config {
             this.value = value;
         }
     }
+
+    // Helper class for parser: name = value; option entries
+    public static class OptionEntry {
+        public String name;
+        public Object value; // String or Integer
+
+        public OptionEntry(String name, Object value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
 }
\ No newline at end of file
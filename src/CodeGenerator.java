@@ -5,11 +5,21 @@ public class CodeGenerator {
     private Config config;
     private Map<String, Variable> variables;
     private List<TestCase> testCases;
+    private String compression; // Accept-Encoding to advertise, null = plain ofString() bodies
+    private String historyFile; // run-history store for fail-fast ordering, null = default order
+    private int failFast;
+    private int cacheSize; // max cached GET responses, 0 = every request hits the network
+    private int cacheTtl;
 
     public CodeGenerator(Config config, Map<String, Variable> variables, List<TestCase> testCases) {
         this.config = config;
         this.variables = variables;
         this.testCases = testCases;
+        this.compression = config != null ? config.getCompression() : null;
+        this.historyFile = config != null ? config.getHistoryFile() : null;
+        this.failFast = config != null ? config.getFailFast() : 0;
+        this.cacheSize = config != null ? config.getCacheSize() : 0;
+        this.cacheTtl = config != null ? config.getCacheTtl() : 60;
     }
 
     public String generate() {
@@ -22,9 +32,36 @@ public class CodeGenerator {
         sb.append("import java.net.*;\n");
         sb.append("import java.time.Duration;\n");
         sb.append("import java.nio.charset.StandardCharsets;\n");
-        sb.append("import java.util.*;\n\n");
+        sb.append("import java.util.*;\n");
+        if (compression != null || historyFile != null) {
+            sb.append("import java.io.*;\n");
+        }
+        if (compression != null || cacheSize > 0) {
+            sb.append("import java.util.concurrent.*;\n");
+            sb.append("import java.util.concurrent.atomic.AtomicLong;\n");
+        }
+        if (compression != null) {
+            sb.append("import java.nio.ByteBuffer;\n");
+            sb.append("import java.util.zip.*;\n");
+        }
+        if (historyFile != null) {
+            sb.append("import java.lang.reflect.Method;\n");
+            sb.append("import java.nio.file.*;\n");
+        }
+        if (tracksRuns()) {
+            sb.append("import java.util.concurrent.atomic.AtomicInteger;\n");
+            sb.append("import org.junit.jupiter.api.extension.*;\n");
+            sb.append("import org.opentest4j.TestAbortedException;\n");
+        }
+        sb.append("\n");
 
         // Class declaration
+        if (historyFile != null) {
+            sb.append("@TestMethodOrder(GeneratedTests.HistoryOrder.class)\n");
+        }
+        if (tracksRuns()) {
+            sb.append("@ExtendWith(GeneratedTests.RunHistory.class)\n");
+        }
         sb.append("public class GeneratedTests {\n");
 
         // Static fields
@@ -33,7 +70,25 @@ public class CodeGenerator {
                 : "http://localhost:8080";
         sb.append("    static String BASE = \"").append(baseUrl).append("\";\n");
         sb.append("    static Map<String, String> DEFAULT_HEADERS = new HashMap<>();\n");
-        sb.append("    static HttpClient client;\n\n");
+        sb.append("    static HttpClient client;\n");
+        if (compression != null) {
+            sb.append("    static final String ACCEPT_ENCODING = \"").append(escapeJava(compression)).append("\";\n");
+            sb.append("    static final AtomicLong RESPONSES = new AtomicLong();\n");
+            sb.append("    static final AtomicLong WIRE_BYTES = new AtomicLong();\n");
+            sb.append("    static final AtomicLong DECODED_BYTES = new AtomicLong();\n");
+            sb.append("    static final AtomicLong LATENCY_NANOS = new AtomicLong();\n");
+        }
+        if (historyFile != null) {
+            sb.append("    static final Path HISTORY_FILE = Paths.get(\"").append(escapeJava(historyFile)).append("\");\n");
+        }
+        if (tracksRuns()) {
+            sb.append("    static final int FAIL_FAST = ").append(failFast).append(";\n");
+        }
+        if (cacheSize > 0) {
+            sb.append("    static final ResponseCache GET_CACHE = new ResponseCache(")
+                    .append(cacheSize).append(", ").append(cacheTtl).append(");\n");
+        }
+        sb.append("\n");
 
         // @BeforeAll setup
         sb.append("    @BeforeAll\n");
@@ -42,6 +97,11 @@ public class CodeGenerator {
         sb.append("            .connectTimeout(Duration.ofSeconds(5))\n");
         sb.append("            .build();\n");
 
+        // Advertise compression first so an explicit config header still wins
+        if (compression != null) {
+            sb.append("        DEFAULT_HEADERS.put(\"Accept-Encoding\", ACCEPT_ENCODING);\n");
+        }
+
         // Add default headers from config
         if (config != null && !config.getHeaders().isEmpty()) {
             for (Map.Entry<String, String> header : config.getHeaders().entrySet()) {
@@ -54,6 +114,19 @@ public class CodeGenerator {
         }
         sb.append("    }\n\n");
 
+        if (usesSendHelper()) {
+            generateSendHelper(sb);
+        }
+        if (compression != null) {
+            generateCompressionSupport(sb);
+        }
+        if (cacheSize > 0) {
+            generateCacheSupport(sb);
+        }
+        if (tracksRuns()) {
+            generateHistorySupport(sb);
+        }
+
         // Generate test methods
         for (TestCase test : testCases) {
             generateTestMethod(sb, test);
@@ -118,7 +191,11 @@ public class CodeGenerator {
         }
 
         // Send request
-        sb.append("        HttpResponse<String> resp = client.send(b.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));\n\n");
+        if (usesSendHelper()) {
+            sb.append("        HttpResponse<String> resp = send(b.build());\n\n");
+        } else {
+            sb.append("        HttpResponse<String> resp = client.send(b.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));\n\n");
+        }
 
         // Generate assertions for this request
         for (Assertion assertion : assertions) {
@@ -126,6 +203,357 @@ public class CodeGenerator {
         }
     }
 
+    // Runtime options route requests through send(), plain generated code calls client.send()
+    private boolean usesSendHelper() {
+        return compression != null || cacheSize > 0;
+    }
+
+    // send() serves idempotent GETs from the cache when enabled, exchange() is the network call
+    private void generateSendHelper(StringBuilder sb) {
+        sb.append("    static HttpResponse<String> send(HttpRequest request) throws Exception {\n");
+        if (cacheSize > 0) {
+            sb.append("        if (\"GET\".equals(request.method())) {\n");
+            sb.append("            return GET_CACHE.get(request);\n");
+            sb.append("        }\n");
+            sb.append("        try {\n");
+            sb.append("            return exchange(request);\n");
+            sb.append("        } finally {\n");
+            sb.append("            // A write may change any resource, so no cached GET can be trusted after it\n");
+            sb.append("            GET_CACHE.invalidate();\n");
+            sb.append("        }\n");
+        } else {
+            sb.append("        return exchange(request);\n");
+        }
+        sb.append("    }\n\n");
+
+        if (compression == null) {
+            sb.append("    static HttpResponse<String> exchange(HttpRequest request) throws Exception {\n");
+            sb.append("        return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));\n");
+            sb.append("    }\n\n");
+        }
+    }
+
+    // Runtime for the "compression" option: an exchange() that times each request, a
+    // BodyHandler that inflates gzip/deflate while the body streams in (assertions see
+    // decoded text), and an @AfterAll report of wire vs decoded bytes and latency.
+    // Setting compression = "identity" keeps the same measurements for a baseline run.
+    private void generateCompressionSupport(StringBuilder sb) {
+        sb.append("    static HttpResponse<String> exchange(HttpRequest request) throws Exception {\n");
+        sb.append("        long start = System.nanoTime();\n");
+        sb.append("        HttpResponse<String> resp = client.send(request, decoding());\n");
+        sb.append("        LATENCY_NANOS.addAndGet(System.nanoTime() - start);\n");
+        sb.append("        RESPONSES.incrementAndGet();\n");
+        sb.append("        return resp;\n");
+        sb.append("    }\n\n");
+
+        sb.append("    static HttpResponse.BodyHandler<String> decoding() {\n");
+        sb.append("        return info -> new DecodingSubscriber(info.headers().firstValue(\"Content-Encoding\").orElse(\"identity\"));\n");
+        sb.append("    }\n\n");
+
+        sb.append("    static class DecodingSubscriber implements HttpResponse.BodySubscriber<String> {\n");
+        sb.append("        private final HttpResponse.BodySubscriber<InputStream> raw = HttpResponse.BodySubscribers.ofInputStream();\n");
+        sb.append("        private final String encoding;\n\n");
+        sb.append("        DecodingSubscriber(String encoding) {\n");
+        sb.append("            this.encoding = encoding.trim().toLowerCase();\n");
+        sb.append("        }\n\n");
+        sb.append("        @Override\n");
+        sb.append("        public CompletionStage<String> getBody() {\n");
+        sb.append("            // Decode off the client's threads, they are the ones feeding the stream\n");
+        sb.append("            return raw.getBody().thenApplyAsync(this::decode);\n");
+        sb.append("        }\n\n");
+        sb.append("        private String decode(InputStream in) {\n");
+        sb.append("            // Own the raw stream first so it is closed even when wrap() rejects the body\n");
+        sb.append("            try (InputStream source = in; InputStream body = wrap(source)) {\n");
+        sb.append("                byte[] bytes = body.readAllBytes();\n");
+        sb.append("                DECODED_BYTES.addAndGet(bytes.length);\n");
+        sb.append("                return new String(bytes, StandardCharsets.UTF_8);\n");
+        sb.append("            } catch (IOException e) {\n");
+        sb.append("                throw new UncheckedIOException(e);\n");
+        sb.append("            }\n");
+        sb.append("        }\n\n");
+        sb.append("        private InputStream wrap(InputStream in) throws IOException {\n");
+        sb.append("            // Empty bodies (204, HEAD-like replies) carry no gzip header to read\n");
+        sb.append("            PushbackInputStream peek = new PushbackInputStream(in, 2);\n");
+        sb.append("            int first = peek.read();\n");
+        sb.append("            if (first == -1) return peek;\n");
+        sb.append("            peek.unread(first);\n");
+        sb.append("            switch (encoding) {\n");
+        sb.append("                case \"gzip\":\n");
+        sb.append("                case \"x-gzip\":\n");
+        sb.append("                    return new GZIPInputStream(peek, 8192);\n");
+        sb.append("                case \"deflate\":\n");
+        sb.append("                    return inflate(peek);\n");
+        sb.append("                case \"identity\":\n");
+        sb.append("                case \"\":\n");
+        sb.append("                    return peek;\n");
+        sb.append("                default:\n");
+        sb.append("                    throw new IOException(\"Unsupported Content-Encoding: \" + encoding);\n");
+        sb.append("            }\n");
+        sb.append("        }\n\n");
+        sb.append("        // deflate should be zlib-wrapped, but some servers send raw deflate data\n");
+        sb.append("        private static InputStream inflate(PushbackInputStream in) throws IOException {\n");
+        sb.append("            byte[] head = new byte[2];\n");
+        sb.append("            int n = in.readNBytes(head, 0, 2);\n");
+        sb.append("            in.unread(head, 0, n);\n");
+        sb.append("            boolean zlib = n == 2 && (head[0] & 0x0F) == 8\n");
+        sb.append("                    && ((head[0] & 0xFF) * 256 + (head[1] & 0xFF)) % 31 == 0;\n");
+        sb.append("            Inflater inflater = new Inflater(!zlib);\n");
+        sb.append("            return new InflaterInputStream(in, inflater, 8192) {\n");
+        sb.append("                @Override\n");
+        sb.append("                public void close() throws IOException {\n");
+        sb.append("                    super.close();\n");
+        sb.append("                    inflater.end();\n");
+        sb.append("                }\n");
+        sb.append("            };\n");
+        sb.append("        }\n\n");
+        sb.append("        @Override\n");
+        sb.append("        public void onSubscribe(Flow.Subscription subscription) {\n");
+        sb.append("            raw.onSubscribe(subscription);\n");
+        sb.append("        }\n\n");
+        sb.append("        @Override\n");
+        sb.append("        public void onNext(List<ByteBuffer> item) {\n");
+        sb.append("            for (ByteBuffer buf : item) {\n");
+        sb.append("                WIRE_BYTES.addAndGet(buf.remaining());\n");
+        sb.append("            }\n");
+        sb.append("            raw.onNext(item);\n");
+        sb.append("        }\n\n");
+        sb.append("        @Override\n");
+        sb.append("        public void onError(Throwable throwable) {\n");
+        sb.append("            raw.onError(throwable);\n");
+        sb.append("        }\n\n");
+        sb.append("        @Override\n");
+        sb.append("        public void onComplete() {\n");
+        sb.append("            raw.onComplete();\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @AfterAll\n");
+        sb.append("    static void compressionReport() {\n");
+        sb.append("        long responses = RESPONSES.get();\n");
+        sb.append("        if (responses == 0) return;\n");
+        sb.append("        long wire = WIRE_BYTES.get();\n");
+        sb.append("        long decoded = DECODED_BYTES.get();\n");
+        sb.append("        double saved = decoded == 0 ? 0 : 100.0 * (decoded - wire) / decoded;\n");
+        sb.append("        System.out.printf(\"Compression [%s]: %d responses, %d bytes on the wire, %d bytes decoded (%.1f%% saved), avg latency %.1f ms%n\",\n");
+        sb.append("                ACCEPT_ENCODING, responses, wire, decoded, saved, LATENCY_NANOS.get() / 1e6 / responses);\n");
+        sb.append("    }\n\n");
+    }
+
+    // Runtime for the "cache_size" option: GET responses keyed by resolved URL and headers,
+    // kept in an LRU map of at most cache_size entries that expire after cache_ttl seconds.
+    // Concurrent identical GETs wait on the one request already in flight instead of
+    // sending their own. POST/PUT/DELETE clear the cache; a GET that was already in flight
+    // during a write is neither stored nor joined by GETs issued after the write. Hit/miss
+    // counts are printed after the class.
+    private void generateCacheSupport(StringBuilder sb) {
+        sb.append("    static class ResponseCache {\n");
+        sb.append("        private final long ttlNanos;\n");
+        sb.append("        private final Map<String, CachedResponse> entries;\n");
+        sb.append("        private final ConcurrentHashMap<String, CompletableFuture<HttpResponse<String>>> inFlight = new ConcurrentHashMap<>();\n");
+        sb.append("        final AtomicLong hits = new AtomicLong();\n");
+        sb.append("        final AtomicLong misses = new AtomicLong();\n");
+        sb.append("        final AtomicLong coalesced = new AtomicLong();\n");
+        sb.append("        final AtomicLong evictions = new AtomicLong();\n");
+        sb.append("        final AtomicLong invalidations = new AtomicLong();\n");
+        sb.append("        private long generation;\n\n");
+        sb.append("        ResponseCache(int maxEntries, int ttlSeconds) {\n");
+        sb.append("            this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);\n");
+        sb.append("            this.entries = new LinkedHashMap<>(16, 0.75f, true) {\n");
+        sb.append("                @Override\n");
+        sb.append("                protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {\n");
+        sb.append("                    boolean full = size() > maxEntries;\n");
+        sb.append("                    if (full) {\n");
+        sb.append("                        evictions.incrementAndGet();\n");
+        sb.append("                    }\n");
+        sb.append("                    return full;\n");
+        sb.append("                }\n");
+        sb.append("            };\n");
+        sb.append("        }\n\n");
+        sb.append("        void invalidate() {\n");
+        sb.append("            synchronized (entries) {\n");
+        sb.append("                generation++;\n");
+        sb.append("                entries.clear();\n");
+        sb.append("            }\n");
+        sb.append("            invalidations.incrementAndGet();\n");
+        sb.append("        }\n\n");
+        sb.append("        HttpResponse<String> get(HttpRequest request) throws Exception {\n");
+        sb.append("            String key = request.uri() + \"\\n\" + request.headers().map();\n");
+        sb.append("            long startGeneration;\n");
+        sb.append("            synchronized (entries) {\n");
+        sb.append("                startGeneration = generation;\n");
+        sb.append("                CachedResponse cached = entries.get(key);\n");
+        sb.append("                if (cached != null && System.nanoTime() - cached.storedAt < ttlNanos) {\n");
+        sb.append("                    hits.incrementAndGet();\n");
+        sb.append("                    return cached.response;\n");
+        sb.append("                }\n");
+        sb.append("                if (cached != null) {\n");
+        sb.append("                    entries.remove(key);\n");
+        sb.append("                    evictions.incrementAndGet();\n");
+        sb.append("                }\n");
+        sb.append("            }\n\n");
+        sb.append("            // Only join requests started since the last write, older ones may return stale data\n");
+        sb.append("            String flightKey = key + \"#\" + startGeneration;\n");
+        sb.append("            CompletableFuture<HttpResponse<String>> pending = new CompletableFuture<>();\n");
+        sb.append("            CompletableFuture<HttpResponse<String>> running = inFlight.putIfAbsent(flightKey, pending);\n");
+        sb.append("            if (running != null) {\n");
+        sb.append("                coalesced.incrementAndGet();\n");
+        sb.append("                try {\n");
+        sb.append("                    return running.get();\n");
+        sb.append("                } catch (ExecutionException e) {\n");
+        sb.append("                    Throwable cause = e.getCause();\n");
+        sb.append("                    if (cause instanceof Exception) throw (Exception) cause;\n");
+        sb.append("                    if (cause instanceof Error) throw (Error) cause;\n");
+        sb.append("                    throw e;\n");
+        sb.append("                }\n");
+        sb.append("            }\n\n");
+        sb.append("            misses.incrementAndGet();\n");
+        sb.append("            try {\n");
+        sb.append("                HttpResponse<String> resp = exchange(request);\n");
+        sb.append("                synchronized (entries) {\n");
+        sb.append("                    if (generation == startGeneration) {\n");
+        sb.append("                        entries.put(key, new CachedResponse(resp));\n");
+        sb.append("                    }\n");
+        sb.append("                }\n");
+        sb.append("                pending.complete(resp);\n");
+        sb.append("                return resp;\n");
+        sb.append("            } catch (Throwable t) {\n");
+        sb.append("                // Failures (Errors included) are handed to waiters but never cached\n");
+        sb.append("                pending.completeExceptionally(t);\n");
+        sb.append("                throw t;\n");
+        sb.append("            } finally {\n");
+        sb.append("                inFlight.remove(flightKey, pending);\n");
+        sb.append("            }\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+
+        sb.append("    static class CachedResponse {\n");
+        sb.append("        final HttpResponse<String> response;\n");
+        sb.append("        final long storedAt = System.nanoTime();\n\n");
+        sb.append("        CachedResponse(HttpResponse<String> response) {\n");
+        sb.append("            this.response = response;\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @AfterAll\n");
+        sb.append("    static void cacheReport() {\n");
+        sb.append("        long hits = GET_CACHE.hits.get() + GET_CACHE.coalesced.get();\n");
+        sb.append("        long total = hits + GET_CACHE.misses.get();\n");
+        sb.append("        if (total == 0) return;\n");
+        sb.append("        System.out.printf(\"GET cache: %d hits (%d coalesced), %d misses, %d evicted, %d invalidations, %.1f%% hit rate%n\",\n");
+        sb.append("                hits, GET_CACHE.coalesced.get(), GET_CACHE.misses.get(), GET_CACHE.evictions.get(),\n");
+        sb.append("                GET_CACHE.invalidations.get(), 100.0 * hits / total);\n");
+        sb.append("    }\n\n");
+    }
+
+    // "history" and "fail_fast" both need the RunHistory extension to watch test results
+    private boolean tracksRuns() {
+        return historyFile != null || failFast > 0;
+    }
+
+    // Runtime for the "history" option: a MethodOrderer that runs tests which failed last
+    // time first, then new tests, then passing ones, each group fastest first. The
+    // RunHistory extension times every test, records PASS/FAIL per test name back into
+    // the history file after the class, and with fail_fast = N skips the rest of the
+    // suite once N tests have failed (fail_fast also works without a history file).
+    private void generateHistorySupport(StringBuilder sb) {
+        if (historyFile != null) {
+            generateHistoryOrder(sb);
+        }
+
+        // fail_fast on its own only counts failures, nothing is timed or written
+        sb.append("    public static class RunHistory implements ExecutionCondition");
+        if (historyFile != null) {
+            sb.append(", BeforeTestExecutionCallback,\n");
+            sb.append("            AfterTestExecutionCallback, AfterAllCallback {\n");
+            sb.append("        private static final ExtensionContext.Namespace NS = ExtensionContext.Namespace.create(RunHistory.class);\n");
+            sb.append("        private final Properties history = loadHistory();\n");
+        } else {
+            sb.append(", AfterTestExecutionCallback {\n");
+        }
+        sb.append("        private final AtomicInteger failures = new AtomicInteger();\n\n");
+        sb.append("        @Override\n");
+        sb.append("        public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {\n");
+        sb.append("            if (FAIL_FAST > 0 && failures.get() >= FAIL_FAST) {\n");
+        sb.append("                return ConditionEvaluationResult.disabled(\"fail_fast: stopped after \" + failures.get() + \" failure(s)\");\n");
+        sb.append("            }\n");
+        sb.append("            return ConditionEvaluationResult.enabled(\"no fail_fast limit reached\");\n");
+        sb.append("        }\n\n");
+        if (historyFile != null) {
+            sb.append("        @Override\n");
+            sb.append("        public void beforeTestExecution(ExtensionContext context) {\n");
+            sb.append("            context.getStore(NS).put(\"start\", System.nanoTime());\n");
+            sb.append("        }\n\n");
+        }
+        sb.append("        @Override\n");
+        sb.append("        public void afterTestExecution(ExtensionContext context) {\n");
+        sb.append("            Throwable error = context.getExecutionException().orElse(null);\n");
+        sb.append("            // Aborted tests (failed assumptions) neither count as failures nor change their entry\n");
+        sb.append("            if (error instanceof TestAbortedException) return;\n");
+        sb.append("            boolean failed = error != null;\n");
+        sb.append("            if (failed) {\n");
+        sb.append("                failures.incrementAndGet();\n");
+        sb.append("            }\n");
+        if (historyFile != null) {
+            sb.append("            long millis = (System.nanoTime() - context.getStore(NS).get(\"start\", Long.class)) / 1_000_000;\n");
+            sb.append("            history.setProperty(testName(context.getRequiredTestMethod()), (failed ? \"FAIL,\" : \"PASS,\") + millis);\n");
+        }
+        sb.append("        }\n");
+        if (historyFile != null) {
+            sb.append("\n");
+            sb.append("        @Override\n");
+            sb.append("        public void afterAll(ExtensionContext context) {\n");
+            sb.append("            // Skipped tests keep their previous entry\n");
+            sb.append("            try (Writer out = Files.newBufferedWriter(HISTORY_FILE, StandardCharsets.UTF_8)) {\n");
+            sb.append("                history.store(out, \"TestLang++ run history\");\n");
+            sb.append("            } catch (IOException e) {\n");
+            sb.append("                System.err.println(\"Could not write run history \" + HISTORY_FILE + \": \" + e.getMessage());\n");
+            sb.append("            }\n");
+            sb.append("        }\n");
+        }
+        sb.append("    }\n\n");
+    }
+
+    private void generateHistoryOrder(StringBuilder sb) {
+        sb.append("    // One line per test name: PASS|FAIL,<millis>\n");
+        sb.append("    static Properties loadHistory() {\n");
+        sb.append("        Properties history = new Properties();\n");
+        sb.append("        if (Files.exists(HISTORY_FILE)) {\n");
+        sb.append("            try (Reader in = Files.newBufferedReader(HISTORY_FILE, StandardCharsets.UTF_8)) {\n");
+        sb.append("                history.load(in);\n");
+        sb.append("            } catch (IOException e) {\n");
+        sb.append("                System.err.println(\"Ignoring unreadable run history \" + HISTORY_FILE + \": \" + e.getMessage());\n");
+        sb.append("            }\n");
+        sb.append("        }\n");
+        sb.append("        return history;\n");
+        sb.append("    }\n\n");
+
+        sb.append("    static String testName(Method method) {\n");
+        sb.append("        return method.getName().substring(\"test_\".length());\n");
+        sb.append("    }\n\n");
+
+        sb.append("    public static class HistoryOrder implements MethodOrderer {\n");
+        sb.append("        @Override\n");
+        sb.append("        public void orderMethods(MethodOrdererContext context) {\n");
+        sb.append("            Properties history = loadHistory();\n");
+        sb.append("            context.getMethodDescriptors().sort(\n");
+        sb.append("                    Comparator.comparingInt((MethodDescriptor m) -> rank(history.getProperty(testName(m.getMethod()))))\n");
+        sb.append("                            .thenComparingLong(m -> millis(history.getProperty(testName(m.getMethod())))));\n");
+        sb.append("        }\n\n");
+        sb.append("        private static int rank(String entry) {\n");
+        sb.append("            if (entry == null) return 1;\n");
+        sb.append("            return entry.startsWith(\"FAIL\") ? 0 : 2;\n");
+        sb.append("        }\n\n");
+        sb.append("        private static long millis(String entry) {\n");
+        sb.append("            if (entry == null) return 0;\n");
+        sb.append("            try {\n");
+        sb.append("                return Long.parseLong(entry.substring(entry.indexOf(',') + 1));\n");
+        sb.append("            } catch (NumberFormatException e) {\n");
+        sb.append("                return 0;\n");
+        sb.append("            }\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+    }
+
     private void generateAssertion(StringBuilder sb, Assertion assertion) {
         switch (assertion.getType()) {
             case STATUS_EQUALS:
@@ -59,6 +59,10 @@ public class Main {
                                     "\" = \"" + header.getValue() + "\"");
                         }
                     }
+
+                    for (Map.Entry<String, Object> option : config.getOptions().entrySet()) {
+                        System.out.println("    " + option.getKey() + " = " + formatValue(option.getValue()));
+                    }
                     System.out.println();
 
                 } else if (item instanceof Variable) {
@@ -7,6 +7,11 @@ public class SemanticChecker {
     public boolean check(Config config, Map<String, Variable> variables, List<TestCase> testCases) {
         // Check for duplicate variable names (already handled by Map, but good practice)
 
+        // Check config options
+        if (config != null) {
+            checkConfig(config);
+        }
+
         // Check each test case
         for (TestCase test : testCases) {
             checkTestCase(test, variables);
@@ -26,6 +31,52 @@ public class SemanticChecker {
         return true;
     }
 
+    private void checkConfig(Config config) {
+        for (Map.Entry<String, Object> option : config.getOptions().entrySet()) {
+            String name = option.getKey();
+            Object value = option.getValue();
+
+            if (name.equals("compression")) {
+                checkCompression(value);
+            } else if (name.equals("history")) {
+                if (!(value instanceof String) || ((String) value).trim().isEmpty()) {
+                    errors.add("Config: Option 'history' must be a file path string");
+                }
+            } else if (name.equals("fail_fast")) {
+                if (!(value instanceof Integer) || (Integer) value < 1) {
+                    errors.add("Config: Option 'fail_fast' must be a positive integer");
+                }
+            } else if (name.equals("cache_size") || name.equals("cache_ttl")) {
+                if (!(value instanceof Integer) || (Integer) value < 1) {
+                    errors.add("Config: Option '" + name + "' must be a positive integer");
+                }
+                if (name.equals("cache_ttl") && config.getOption("cache_size") == null) {
+                    errors.add("Config: Option 'cache_ttl' requires 'cache_size'");
+                }
+            } else {
+                errors.add("Config: Unknown option '" + name + "'");
+            }
+        }
+    }
+
+    // compression = "gzip, deflate"; is sent as Accept-Encoding, so only codings
+    // the generated tests can decode are allowed ("identity" turns compression off)
+    private void checkCompression(Object value) {
+        if (!(value instanceof String)) {
+            errors.add("Config: Option 'compression' must be a string (e.g. \"gzip, deflate\")");
+            return;
+        }
+
+        String[] codings = ((String) value).split(",");
+        for (String coding : codings) {
+            String c = coding.trim().toLowerCase();
+            if (!c.equals("gzip") && !c.equals("deflate") && !c.equals("identity")) {
+                errors.add("Config: Unsupported compression '" + coding.trim() +
+                        "' (supported: gzip, deflate, identity)");
+            }
+        }
+    }
+
     private void checkTestCase(TestCase test, Map<String, Variable> variables) {
         // Check: at least 1 request
         if (test.getRequests().isEmpty()) {